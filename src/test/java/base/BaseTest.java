@@ -1,6 +1,7 @@
 package base;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.util.Properties;
 
 import org.openqa.selenium.WebDriver;
@@ -10,6 +11,9 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
@@ -24,9 +28,10 @@ import utils.File_utils;
  * Supports Chrome, Firefox, and Edge browsers with WebDriverManager.
  * Launches browsers in Incognito/Private mode to reduce CAPTCHA triggers.
  * Uses ThreadLocal for WebDriver to support parallel execution.
+ * Skips invocations with unchanged inputs when incremental mode is on (see {@link IncrementalRunManager}).
  * 
  */
-public class BaseTest {
+public class BaseTest implements IHookable {
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     private static ThreadLocal<String> browserName = new ThreadLocal<>();
     private static ThreadLocal<String> searchTerm = new ThreadLocal<>();
@@ -53,10 +58,12 @@ public class BaseTest {
 
     @BeforeMethod(alwaysRun = true)
     @Parameters({ "browser", "searchTerm" })
-    public void setUp(@Optional("") String browser, @Optional("") String term) throws IOException {
-        // Load properties
-        prop = futils.readFile(prop_path);
-        loc = futils.readFile(loc_path);
+    public void setUp(@Optional("") String browser, @Optional("") String term, Method method, Object[] args) throws IOException {
+        // Load properties, recording which keys this invocation reads
+        Properties config = futils.readFile(prop_path);
+        IncrementalRunManager.beginInvocation(config);
+        prop = IncrementalRunManager.track("config", config);
+        loc = IncrementalRunManager.track("locators", futils.readFile(loc_path));
 
         if (browser.isEmpty()) browser = prop.getProperty("browser");
         setBrowser(browser);
@@ -64,6 +71,9 @@ public class BaseTest {
         if (term.isEmpty()) term = prop.getProperty("search_Term");
         setSearchTerm(term);
 
+        // Don't launch a browser if nothing this invocation depends on changed; run() skips it
+        if (IncrementalRunManager.isUnchanged(getClass(), method, browser, args)) return;
+
         WebDriver localDriver;
         switch (browser.toLowerCase()) {
             case "chrome":
@@ -91,6 +101,17 @@ public class BaseTest {
         getDriver().get(prop.getProperty("url"));
     }
 
+    /**
+     * Skips only the current test method invocation when its inputs are unchanged.
+     * Skipping here rather than in setUp keeps the configuration methods of the
+     * other invocations in the same &lt;test&gt; running.
+     */
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        IncrementalRunManager.skipIfUnchanged();
+        callBack.runTestMethod(testResult);
+    }
+
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
         WebDriver drv = getDriver();
@@ -0,0 +1,289 @@
+package base;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import utils.PageResultValidator;
+import utils.TC_utils;
+
+/**
+ * Manages incremental test selection based on content hashes of each invocation's inputs.
+ * A fingerprint is built from the config and locator keys the invocation read, its
+ * parameter set (browser, testng.xml parameters or data provider row) and the bytecode
+ * of the test class and its superclasses (including {@link BaseTest}), {@link TC_utils} and {@link PageResultValidator}.
+ *
+ * <p>Fingerprints and outcomes are stored in <b>reports/incremental_state.properties</b>.
+ * On the next run, an invocation whose fingerprint is unchanged and which passed last
+ * time is skipped: {@link BaseTest#setUp} does not launch a browser for it, and
+ * {@link BaseTest#run} skips only that method invocation, so the configuration
+ * methods of the remaining invocations are unaffected.</p>
+ *
+ * <p><b>Usage:</b>
+ * <pre>
+ * mvn test -Dincremental=true
+ * mvn test -Dincremental=true -Dincremental.force=true
+ * </pre>
+ * The same switches can be set with <b>incremental_run</b> and <b>incremental_force</b>
+ * in config.properties; system properties take precedence.</p>
+ */
+public class IncrementalRunManager {
+    private static final String STATE_PATH = "reports/incremental_state.properties";
+    private static final String PASS = "PASS";
+    private static final String FAIL = "FAIL";
+
+    private static ThreadLocal<Set<String>> readKeys = ThreadLocal.withInitial(TreeSet::new);
+    private static ThreadLocal<String> invocationId = new ThreadLocal<>();
+    private static ThreadLocal<String> invocationInputs = new ThreadLocal<>();
+    private static ThreadLocal<Class<?>> invocationClass = new ThreadLocal<>();
+    private static ThreadLocal<Boolean> skipped = ThreadLocal.withInitial(() -> false);
+
+    private static Map<String, String> state;
+    private static Map<String, String> bytecodeHashes = new TreeMap<>();
+    private static boolean enabled;
+    private static boolean force;
+
+    /**
+     * Starts tracking a new invocation on the current thread and reads the
+     * incremental switches from system properties or the raw config file.
+     *
+     * @param config config.properties as loaded from disk
+     */
+    public static void beginInvocation(Properties config) {
+        enabled = Boolean.parseBoolean(System.getProperty("incremental",
+                config.getProperty("incremental_run", "false")).trim());
+        force = Boolean.parseBoolean(System.getProperty("incremental.force",
+                config.getProperty("incremental_force", "false")).trim());
+        readKeys.get().clear();
+        invocationId.remove();
+        invocationInputs.remove();
+        invocationClass.remove();
+        skipped.set(false);
+    }
+
+    /**
+     * Wraps a loaded properties file so that every key read on the current thread is
+     * recorded as an input of the running invocation.
+     *
+     * @param source name used to prefix recorded keys (e.g. "config", "locators")
+     * @param props properties loaded from disk
+     * @return properties that record key reads
+     */
+    public static Properties track(String source, Properties props) {
+        TrackedProperties tracked = new TrackedProperties(source);
+        tracked.putAll(props);
+        return tracked;
+    }
+
+    /**
+     * Checks whether the current invocation can be skipped: incremental mode is on, the run
+     * is not forced, and the stored fingerprint matches and passed last time.
+     * The fingerprint is computed over the keys the invocation read in its last run.
+     *
+     * @param testClass class of the running test instance, which may inherit the test method
+     * @param method test method about to run
+     * @param browser browser the invocation runs on
+     * @param args parameters passed to the test method
+     * @return true if the invocation's inputs are unchanged since it last passed
+     */
+    public static boolean isUnchanged(Class<?> testClass, Method method, String browser, Object[] args) {
+        String id = testClass.getName() + "." + method.getName()
+                + "[" + browser + " | " + Arrays.deepToString(args) + "]";
+        invocationId.set(id);
+        invocationClass.set(testClass);
+        invocationInputs.set(testClass.getName() + "|" + method.getName()
+                + "|" + browser + "|" + Arrays.deepToString(args));
+
+        if (!enabled || force) return false;
+
+        String[] previous = entry(id);
+        if (previous == null || !PASS.equals(previous[1])) return false;
+
+        Set<String> previousKeys = new TreeSet<>();
+        if (!previous[2].isEmpty()) previousKeys.addAll(Arrays.asList(previous[2].split(",")));
+
+        skipped.set(previous[0].equals(fingerprint(testClass, previousKeys)));
+        return skipped.get();
+    }
+
+    /**
+     * Skips the test method invocation running on the current thread if
+     * {@link #isUnchanged} marked it as unchanged.
+     *
+     * @throws UnchangedInputsException if the invocation's inputs are unchanged since it last passed
+     */
+    public static void skipIfUnchanged() {
+        if (skipped.get()) throw new UnchangedInputsException(invocationId.get());
+    }
+
+    /**
+     * Stores the fingerprint and outcome of the invocation that just finished on
+     * the current thread. Skipped invocations keep their previous entry.
+     *
+     * @param result TestNG result of the finished invocation
+     */
+    public static void recordOutcome(ITestResult result) {
+        String id = invocationId.get();
+        if (id == null || skipped.get()) return;
+
+        Set<String> keys = new TreeSet<>(readKeys.get());
+        String fingerprint = fingerprint(invocationClass.get(), keys);
+        String status = result.getStatus() == ITestResult.SUCCESS ? PASS : FAIL;
+
+        synchronized (IncrementalRunManager.class) {
+            loadState().put(id, fingerprint + ";" + status + ";" + String.join(",", keys));
+        }
+    }
+
+    /**
+     * @param result TestNG result of a skipped invocation
+     * @return true if the invocation was skipped by incremental selection
+     */
+    public static boolean isIncrementalSkip(ITestResult result) {
+        return result.getThrowable() instanceof UnchangedInputsException;
+    }
+
+    /**
+     * Writes the stored fingerprints and outcomes back to disk.
+     */
+    public static synchronized void flush() {
+        if (state == null) return;
+        Properties out = new Properties();
+        out.putAll(state);
+
+        File file = new File(System.getProperty("user.dir"), STATE_PATH);
+        if (!file.getParentFile().exists()) file.getParentFile().mkdirs();
+        try (FileWriter fw = new FileWriter(file)) {
+            out.store(fw, "Incremental run fingerprints: fingerprint;status;keys read");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static synchronized String[] entry(String id) {
+        String value = loadState().get(id);
+        if (value == null) return null;
+        String[] parts = value.split(";", -1);
+        return parts.length == 3 ? parts : null;
+    }
+
+    private static Map<String, String> loadState() {
+        if (state == null) {
+            state = new TreeMap<>();
+            File file = new File(System.getProperty("user.dir"), STATE_PATH);
+            if (file.exists()) {
+                Properties in = new Properties();
+                try (FileReader fr = new FileReader(file)) {
+                    in.load(fr);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                for (String key : in.stringPropertyNames()) state.put(key, in.getProperty(key));
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Hashes the invocation's parameters, the current values of the given keys and
+     * the bytecode of the classes the invocation executes.
+     */
+    private static String fingerprint(Class<?> testClass, Set<String> keys) {
+        StringBuilder sb = new StringBuilder(invocationInputs.get());
+        for (String key : keys) {
+            int sep = key.indexOf(':');
+            Properties props = key.startsWith("locators:") ? BaseTest.getLocatorProperties()
+                    : BaseTest.getConfigProperties();
+            // Read through Properties.get so the lookup is not recorded as a new input
+            sb.append('\n').append(key).append('=').append(props.get(key.substring(sep + 1)));
+        }
+        // The test class and its superclasses, which hold inherited test methods and BaseTest
+        for (Class<?> c = testClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            sb.append('\n').append(bytecodeHash(c));
+        }
+        sb.append('\n').append(bytecodeHash(TC_utils.class))
+          .append('\n').append(bytecodeHash(PageResultValidator.class));
+        return sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Hashes a class file together with the class files of its nested classes
+     * (e.g. PageResultValidator$PageSummary), which are compiled separately.
+     */
+    private static synchronized String bytecodeHash(Class<?> clazz) {
+        String hash = bytecodeHashes.get(clazz.getName());
+        if (hash == null) {
+            StringBuilder sb = new StringBuilder(classFileHash(clazz));
+            Class<?>[] nested = clazz.getDeclaredClasses();
+            Arrays.sort(nested, Comparator.comparing(Class::getName));
+            for (Class<?> n : nested) sb.append(',').append(bytecodeHash(n));
+            hash = sb.toString();
+            bytecodeHashes.put(clazz.getName(), hash);
+        }
+        return hash;
+    }
+
+    private static String classFileHash(Class<?> clazz) {
+        String resource = "/" + clazz.getName().replace('.', '/') + ".class";
+        try (InputStream in = clazz.getResourceAsStream(resource)) {
+            return in == null ? "missing" : sha256(in.readAllBytes());
+        } catch (IOException e) {
+            return "unreadable";
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Thrown to skip a single test method invocation whose inputs are unchanged.
+     */
+    public static class UnchangedInputsException extends SkipException {
+        private static final long serialVersionUID = 1L;
+
+        UnchangedInputsException(String id) {
+            super("Inputs unchanged since last passing run: " + id);
+        }
+    }
+
+    /**
+     * Properties that record every key read through {@link #getProperty(String)}
+     * as an input of the current thread's invocation.
+     */
+    private static class TrackedProperties extends Properties {
+        private static final long serialVersionUID = 1L;
+        private final String source;
+
+        TrackedProperties(String source) { this.source = source; }
+
+        @Override
+        public String getProperty(String key) {
+            readKeys.get().add(source + ":" + key);
+            return super.getProperty(key);
+        }
+    }
+}
@@ -44,11 +44,13 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSuccess(ITestResult result) {
         testLogger.get().log(Status.PASS, "Test Passed");
+        IncrementalRunManager.recordOutcome(result);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
         testLogger.get().log(Status.FAIL, result.getThrowable());
+        IncrementalRunManager.recordOutcome(result);
 
         WebDriver driver = BaseTest.getDriver();
         if (driver != null) {
@@ -59,12 +61,17 @@ public class TestListener implements ITestListener {
 
     @Override
     public void onTestSkipped(ITestResult result) {
+        if (IncrementalRunManager.isIncrementalSkip(result)) {
+            testLogger.get().log(Status.SKIP, "Test Skipped: inputs unchanged since last passing run");
+            return;
+        }
         testLogger.get().log(Status.SKIP, "Test Skipped: " + result.getThrowable());
     }
 
     @Override
     public void onFinish(ITestContext context) {
         extent.flush();
+        IncrementalRunManager.flush();
     }
 
     public static ExtentTest getTestLogger() { return testLogger.get(); }
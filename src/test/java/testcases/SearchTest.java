@@ -20,6 +20,7 @@ import org.testng.asserts.SoftAssert;
 import base.BaseTest;
 import base.TestListener;
 import utils.DataProviderClass;
+import utils.PageResultValidator;
 import utils.TC_utils;
 import org.testng.annotations.Listeners;
 
@@ -29,7 +30,8 @@ import com.aventstack.extentreports.Status;
 /**
  * Test cases for Bing search functionality.
  * Includes validation of home page title, first two results,
- * and results count consistency across multiple pages.
+ * results count consistency across multiple pages, and an optional
+ * deep-pagination crawl over the first N pages.
  *
  * Each step is logged in ExtentReports with pass/fail status,
  * and screenshots are attached automatically on failures.
@@ -44,6 +46,17 @@ public class SearchTest extends BaseTest {
                 .ignoring(Exception.class);
     }
 
+    /**
+     * Short polling wait for the crawl, so per-page timings measure the page load
+     * rather than the poll interval.
+     */
+    private FluentWait<WebDriver> getCrawlWait() {
+        return new FluentWait<>(BaseTest.getDriver())
+                .withTimeout(Duration.ofSeconds(30))
+                .pollingEvery(Duration.ofMillis(200))
+                .ignoring(Exception.class);
+    }
+
     /**
      * TC1 - Validate Bing home page title.
      * @param searchTerm String that shall be executed in search test
@@ -227,4 +240,143 @@ public class SearchTest extends BaseTest {
                     "Results count validation completed for search term: " + search_term);
         }
     }
+
+    /**
+     * TC4 - Crawl the first N result pages and validate results count, cross-page
+     * duplicate URLs and relevance on every page.
+     * Each page is extracted in a single script call and streamed into a
+     * {@link PageResultValidator}, then discarded, so memory and driver round trips
+     * per page stay constant regardless of depth.
+     * Excluded from testng.xml; run through the crawl.xml suite.
+     * @param searchTerm String that shall be executed in search test
+     */
+    @Test(priority = 4, groups = "CrawlTest")
+    @Parameters({ "searchTerm" })
+    public void validateDeepPaginationResults(@Optional("") String search_term) throws Exception {
+        if (search_term.isEmpty()) {
+            search_term = prop.getProperty("search_Term");
+        }
+
+        int maxPages = Integer.parseInt(prop.getProperty("crawl_max_pages", "50").trim());
+        PageResultValidator validator = new PageResultValidator(search_term,
+                Integer.parseInt(prop.getProperty("crawl_min_results", "1").trim()),
+                Integer.parseInt(prop.getProperty("crawl_max_duplicates", "0").trim()),
+                Double.parseDouble(prop.getProperty("crawl_min_relevance", "0.5").trim()));
+
+        SoftAssert softAssert = new SoftAssert();
+        TC_utils utils = new TC_utils();
+        JavascriptExecutor jse = (JavascriptExecutor) BaseTest.getDriver();
+        String resultsXpath = loc.getProperty("all_results_selector");
+        String nextXpath = loc.getProperty("next_button");
+
+        TestListener.getTestLogger().log(Status.INFO,
+                "Starting Deep Pagination Crawl over " + maxPages + " pages for: " + search_term);
+
+        try {
+            WebElement searchBox = BaseTest.getDriver().findElement(By.id(loc.getProperty("bing_SBox")));
+            utils.type_with_random_delay(searchBox, search_term);
+            jse.executeScript(MARK_PAGE_SCRIPT);
+            searchBox.sendKeys(Keys.ENTER);
+
+            TestListener.getTestLogger().log(Status.INFO, "Search submitted for: " + search_term);
+
+            String previousOffset = null;
+            for (int page = 1; page <= maxPages; page++) {
+                long start = System.nanoTime();
+
+                if (page > 1) {
+                    Boolean clicked = (Boolean) jse.executeScript(CLICK_NEXT_SCRIPT, nextXpath);
+                    if (!Boolean.TRUE.equals(clicked)) {
+                        TestListener.getTestLogger().log(Status.WARNING,
+                                "No next page after page " + (page - 1) + ", crawl stopped early.");
+                        break;
+                    }
+                    utils.waitForCaptchaToDisappear(jse);
+                }
+
+                List<?> pageData = extractNewPage(jse, resultsXpath);
+                long fetchMillis = (System.nanoTime() - start) / 1_000_000;
+                String offset = String.valueOf(pageData.get(0));
+                if (offset.equals(previousOffset)) {
+                    TestListener.getTestLogger().log(Status.WARNING,
+                            "Next reloaded offset " + offset + " after page " + (page - 1) + ", end of results reached.");
+                    break;
+                }
+                previousOffset = offset;
+                List<?> results = (List<?>) pageData.get(1);
+
+                PageResultValidator.PageSummary summary = validator.accept(page, results, fetchMillis);
+                TestListener.getTestLogger().log(Status.INFO, summary.toString());
+
+                if (!summary.hasEnoughResults()) {
+                    softAssert.fail("Page " + page + " has only " + summary.count + " results.");
+                }
+                if (!summary.hasAcceptableDuplicates()) {
+                    softAssert.fail("Page " + page + " repeats " + summary.duplicates + " URLs from earlier pages.");
+                }
+                if (!summary.isRelevant()) {
+                    softAssert.fail("Page " + page + " has only " + summary.relevant + "/" + summary.count
+                            + " results related to search term: " + search_term);
+                }
+            }
+
+            if (validator.getPages() < maxPages) {
+                softAssert.fail("Crawl ended after " + validator.getPages() + " of " + maxPages
+                        + " pages for search term: " + search_term);
+            }
+
+            TestListener.getTestLogger().log(Status.INFO, "Crawled " + validator.getPages() + " pages: "
+                    + validator.getTotalResults() + " results (" + validator.getMinPageCount() + "-"
+                    + validator.getMaxPageCount() + " per page), " + validator.getTotalDuplicates()
+                    + " duplicate URLs, " + validator.getTotalFetchMillis() + " ms total fetch time.");
+
+        } catch (Exception e) {
+            softAssert.fail("Error during deep pagination crawl: " + e.getMessage());
+            TestListener.getTestLogger().log(Status.FAIL, "Exception: " + e.getMessage());
+        } finally {
+            softAssert.assertAll();
+            TestListener.getTestLogger().log(Status.INFO,
+                    "Deep pagination crawl completed for search term: " + search_term);
+        }
+    }
+
+    /** Marks the current document, so a newly loaded one can be told apart from it. */
+    private static final String MARK_PAGE_SCRIPT = "window.__crawlPreviousPage = true;";
+
+    /**
+     * Marks the current document and clicks the next-page link in one round trip;
+     * returns false when there is no next page.
+     */
+    private static final String CLICK_NEXT_SCRIPT =
+            "var next = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "if (!next) return false;"
+            + MARK_PAGE_SCRIPT
+            + "next.scrollIntoView(true); next.click(); return true;";
+
+    /**
+     * Returns [offset, results] in one round trip, where offset is Bing's first= parameter
+     * of the loaded results page and results are [url, text] rows.
+     * Returns null while the marked previous document is still shown or the new one is loading.
+     */
+    private static final String EXTRACT_RESULTS_SCRIPT =
+            "if (window.__crawlPreviousPage || document.readyState !== 'complete'"
+            + "    || location.pathname.indexOf('/search') !== 0) return null;"
+            + "var offset = new URLSearchParams(location.search).get('first') || '1';"
+            + "var snap = document.evaluate(arguments[0], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "var out = [];"
+            + "for (var i = 0; i < snap.snapshotLength; i++) {"
+            + "  var a = snap.snapshotItem(i);"
+            + "  out.push([a.href || '', (a.innerText || a.textContent || '').trim()]);"
+            + "}"
+            + "return [offset, out];";
+
+    /**
+     * Waits until a new document has replaced the marked one and returns its [offset, results].
+     * The load signal depends neither on result content nor on the offset, so a page repeating
+     * earlier results is reported as duplicates and a reloaded offset is seen as end of results.
+     * The extraction script doubles as the wait condition, so a loaded page costs one call.
+     */
+    private List<?> extractNewPage(JavascriptExecutor jse, String resultsXpath) {
+        return getCrawlWait().until(d -> (List<?>) jse.executeScript(EXTRACT_RESULTS_SCRIPT, resultsXpath));
+    }
 }
@@ -0,0 +1,194 @@
+package utils;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Streaming validation stage for the deep-pagination crawl.
+ * Each page's extracted results are fed in once via {@link #accept(int, List, long)}
+ * and can be discarded right after; only running totals and a compact set of
+ * 64-bit URL hashes are kept, so memory stays constant per page regardless of depth.
+ *
+ * <p>For every page it checks the results count, duplicate URLs against all previous
+ * pages (repeats within the same page are not counted), and the share of results
+ * relevant to the search term.</p>
+ */
+public class PageResultValidator {
+    private final String searchTerm;
+    private final int minResults;
+    private final int maxDuplicates;
+    private final double minRelevance;
+    private final TC_utils utils = new TC_utils();
+
+    private long[] seenHashes = new long[256];
+    private int seenCount;
+
+    private int pages;
+    private int totalResults;
+    private int totalDuplicates;
+    private int minPageCount = Integer.MAX_VALUE;
+    private int maxPageCount;
+    private long totalFetchMillis;
+
+    /**
+     * @param searchTerm term the results are validated against
+     * @param minResults minimum results expected on every page
+     * @param maxDuplicates maximum results per page allowed to repeat URLs from earlier pages
+     * @param minRelevance minimum share (0-1) of results on a page relevant to the search term
+     */
+    public PageResultValidator(String searchTerm, int minResults, int maxDuplicates, double minRelevance) {
+        this.searchTerm = searchTerm;
+        this.minResults = minResults;
+        this.maxDuplicates = maxDuplicates;
+        this.minRelevance = minRelevance;
+    }
+
+    /**
+     * Validates one page of extracted results and folds it into the running totals.
+     *
+     * @param pageNumber 1-based page number
+     * @param results rows of [url, text] as extracted from the page
+     * @param fetchMillis time spent navigating to and extracting the page
+     * @return summary of this page's checks
+     */
+    public PageSummary accept(int pageNumber, List<?> results, long fetchMillis) {
+        long start = System.nanoTime();
+        int relevant = 0;
+        int duplicates = 0;
+        long[] pageHashes = new long[results.size()];
+
+        for (int i = 0; i < results.size(); i++) {
+            List<?> cells = (List<?>) results.get(i);
+            String url = String.valueOf(cells.get(0));
+            String text = String.valueOf(cells.get(1));
+
+            pageHashes[i] = hash(normalizeUrl(url));
+            if (containsHash(pageHashes[i])) duplicates++;
+            if (!text.isEmpty() && utils.isResultValid(text, searchTerm)) relevant++;
+        }
+        // Added after the loop so only URLs from earlier pages count as duplicates
+        for (long h : pageHashes) addHash(h);
+
+        int count = results.size();
+        pages++;
+        totalResults += count;
+        totalDuplicates += duplicates;
+        minPageCount = Math.min(minPageCount, count);
+        maxPageCount = Math.max(maxPageCount, count);
+        totalFetchMillis += fetchMillis;
+
+        long validateMillis = (System.nanoTime() - start) / 1_000_000;
+        return new PageSummary(pageNumber, count, duplicates, relevant, fetchMillis, validateMillis);
+    }
+
+    public int getPages() { return pages; }
+    public int getTotalResults() { return totalResults; }
+    public int getTotalDuplicates() { return totalDuplicates; }
+    public int getMinPageCount() { return pages == 0 ? 0 : minPageCount; }
+    public int getMaxPageCount() { return maxPageCount; }
+    public long getTotalFetchMillis() { return totalFetchMillis; }
+
+    /**
+     * Result of validating a single page.
+     */
+    public class PageSummary {
+        public final int page;
+        public final int count;
+        public final int duplicates;
+        public final int relevant;
+        public final long fetchMillis;
+        public final long validateMillis;
+
+        PageSummary(int page, int count, int duplicates, int relevant, long fetchMillis, long validateMillis) {
+            this.page = page;
+            this.count = count;
+            this.duplicates = duplicates;
+            this.relevant = relevant;
+            this.fetchMillis = fetchMillis;
+            this.validateMillis = validateMillis;
+        }
+
+        public boolean hasEnoughResults() { return count >= minResults; }
+        public boolean hasAcceptableDuplicates() { return duplicates <= maxDuplicates; }
+        public boolean isRelevant() { return count > 0 && (double) relevant / count >= minRelevance; }
+
+        @Override
+        public String toString() {
+            return "Page " + page + ": " + count + " results, " + duplicates + " duplicate URLs, "
+                    + relevant + "/" + count + " relevant, fetched in " + fetchMillis + " ms, validated in "
+                    + validateMillis + " ms";
+        }
+    }
+
+    /**
+     * Resolves Bing click-tracking links (/ck/a?...&u=a1<base64>) to their target URL
+     * so the same result is recognised across pages, then drops fragments and trailing slashes.
+     */
+    static String normalizeUrl(String url) {
+        String target = url;
+        int ck = url.indexOf("/ck/a?");
+        if (ck >= 0) {
+            for (String param : url.substring(ck + 6).split("&")) {
+                if (param.startsWith("u=a1")) {
+                    try {
+                        String encoded = URLDecoder.decode(param.substring(4), "UTF-8");
+                        target = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                    } catch (Exception e) {
+                        // Keep the tracking link if the target can't be decoded
+                    }
+                    break;
+                }
+            }
+        }
+        int hashIdx = target.indexOf('#');
+        if (hashIdx >= 0) target = target.substring(0, hashIdx);
+        while (target.endsWith("/")) target = target.substring(0, target.length() - 1);
+        return target.toLowerCase();
+    }
+
+    /**
+     * 64-bit FNV-1a hash; 0 is reserved as the empty slot marker.
+     */
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Linear probe of the open-addressing set.
+     * @return slot holding the hash, or the empty slot where it would be inserted
+     */
+    private int slot(long h) {
+        int mask = seenHashes.length - 1;
+        int i = (int) (h ^ (h >>> 32)) & mask;
+        while (seenHashes[i] != 0 && seenHashes[i] != h) i = (i + 1) & mask;
+        return i;
+    }
+
+    private boolean containsHash(long h) {
+        return seenHashes[slot(h)] == h;
+    }
+
+    /**
+     * Adds a hash to the open-addressing set, doubling it to keep the load factor at most 1/2.
+     */
+    private void addHash(long h) {
+        if ((seenCount + 1) * 2 > seenHashes.length) {
+            long[] old = seenHashes;
+            seenHashes = new long[old.length * 2];
+            seenCount = 0;
+            for (long o : old) if (o != 0) addHash(o);
+        }
+        int i = slot(h);
+        if (seenHashes[i] == 0) {
+            seenHashes[i] = h;
+            seenCount++;
+        }
+    }
+}
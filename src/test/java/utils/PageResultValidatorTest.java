@@ -0,0 +1,84 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the browser-free logic of {@link PageResultValidator}:
+ * click-tracking URL normalization, cross-page duplicate counting,
+ * and growth of the URL hash set.
+ */
+public class PageResultValidatorTest {
+
+    private static List<List<String>> page(String... urls) {
+        List<List<String>> rows = new ArrayList<>();
+        for (String url : urls) rows.add(Arrays.asList(url, "Vodafone result"));
+        return rows;
+    }
+
+    private static PageResultValidator validator() {
+        return new PageResultValidator("Vodafone", 1, 0, 0.5);
+    }
+
+    @Test
+    public void normalizeUrlResolvesClickTrackingLinks() {
+        String target = "https://www.vodafone.com/about/";
+        String encoded = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(target.getBytes(StandardCharsets.UTF_8));
+        String tracked = "https://www.bing.com/ck/a?!&&p=abc123&ptn=3&u=a1" + encoded + "&ntb=1";
+
+        Assert.assertEquals(PageResultValidator.normalizeUrl(tracked), "https://www.vodafone.com/about");
+    }
+
+    @Test
+    public void normalizeUrlDropsFragmentTrailingSlashAndCase() {
+        Assert.assertEquals(PageResultValidator.normalizeUrl("https://WWW.Vodafone.com/Logo/#top"),
+                "https://www.vodafone.com/logo");
+    }
+
+    @Test
+    public void normalizeUrlKeepsUndecodableTrackingLink() {
+        String tracked = "https://www.bing.com/ck/a?!&&p=abc&u=a1%%%&ntb=1";
+        Assert.assertEquals(PageResultValidator.normalizeUrl(tracked), tracked.toLowerCase());
+    }
+
+    @Test
+    public void duplicatesCountOnlyUrlsFromEarlierPages() {
+        PageResultValidator validator = validator();
+
+        PageResultValidator.PageSummary first = validator.accept(1,
+                page("https://a.example", "https://a.example/", "https://b.example"), 0);
+        Assert.assertEquals(first.duplicates, 0, "repeats within the same page are not duplicates");
+        Assert.assertTrue(first.hasAcceptableDuplicates());
+
+        PageResultValidator.PageSummary second = validator.accept(2,
+                page("https://a.example", "https://c.example"), 0);
+        Assert.assertEquals(second.duplicates, 1);
+        Assert.assertFalse(second.hasAcceptableDuplicates());
+        Assert.assertEquals(validator.getTotalDuplicates(), 1);
+        Assert.assertEquals(validator.getTotalResults(), 5);
+    }
+
+    @Test
+    public void hashSetGrowsPastInitialCapacity() {
+        PageResultValidator validator = validator();
+        String[] urls = new String[300];
+        for (int i = 0; i < urls.length; i++) urls[i] = "https://example.com/result/" + i;
+
+        for (int p = 0; p < 30; p++) {
+            PageResultValidator.PageSummary summary =
+                    validator.accept(p + 1, page(Arrays.copyOfRange(urls, p * 10, p * 10 + 10)), 0);
+            Assert.assertEquals(summary.duplicates, 0);
+        }
+
+        Assert.assertEquals(validator.accept(31, page(urls), 0).duplicates, 300);
+        Assert.assertEquals(validator.accept(32, page("https://example.com/new"), 0).duplicates, 0);
+        Assert.assertEquals(validator.getPages(), 32);
+    }
+}
@@ -83,7 +83,7 @@ public class TC_utils {
      * @param searchTerm original search term
      * @return true if result is relevant, false otherwise
      */
-    private boolean isResultValid(String resultText, String searchTerm) {
+    boolean isResultValid(String resultText, String searchTerm) {
         String lowerResult = resultText.toLowerCase();
         String lowerSearch = searchTerm.toLowerCase();
         